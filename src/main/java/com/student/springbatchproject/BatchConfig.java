@@ -18,6 +18,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 
@@ -69,16 +70,58 @@ public class BatchConfig {
 
 
     @Bean
-    public DynamicItemProcessor processor() { return new DynamicItemProcessor(); }
+    public ValidationRules validationRules(@Value("${app.validation.rules-file:}") String rulesFile) {
+        return ValidationRules.load(rulesFile);
+    }
+
+    @Bean
+    @StepScope
+    public RejectedRowWriter rejectedRowWriter(
+            HeaderHolder headerHolder,
+            @Value("#{jobParameters['input.file']}") String inputFilePath,
+            @Value("${app.reject-file:}") String rejectFilePath,
+            @Value("${app.writer.max-rejects:1000}") long maxRejects
+    ) {
+        File rejectFile = (rejectFilePath == null || rejectFilePath.isBlank())
+                ? RejectedRowWriter.defaultRejectFile(inputFilePath)
+                : new File(rejectFilePath);
+        return new RejectedRowWriter(rejectFile, headerHolder.getHeaders(), maxRejects);
+    }
+
+    @Bean
+    @StepScope
+    public DynamicItemProcessor processor(HeaderHolder headerHolder,
+                                          ValidationRules validationRules,
+                                          RejectedRowWriter rejectedRowWriter) {
+        return new DynamicItemProcessor(RowValidator.compile(headerHolder.getHeaders(), validationRules), rejectedRowWriter);
+    }
 
     @Bean
     @StepScope
     public DynamicItemWriter writer(
             @org.springframework.beans.factory.annotation.Qualifier("targetJdbcTemplate") JdbcTemplate jdbcTemplate,
             HeaderHolder headerHolder,
-            @Value("#{jobParameters['input.file']}") String inputFilePath
+            @Value("#{jobParameters['input.file']}") String inputFilePath,
+            RejectedRowWriter rejectedRowWriter,
+            @Value("${app.writer.max-retries:3}") int maxRetries,
+            @Value("${app.writer.retry-backoff-ms:200}") long retryBackoffMs,
+            FastLoadOptions fastLoadOptions
+    ) {
+        return new DynamicItemWriter(jdbcTemplate, headerHolder, inputFilePath,
+                rejectedRowWriter, maxRetries, retryBackoffMs, fastLoadOptions);
+    }
+
+    @Bean
+    public FastLoadOptions fastLoadOptions(
+            @Value("${app.fast-load.enabled:false}") boolean enabled,
+            @Value("${app.fast-load.index-columns:}") String indexColumns,
+            @Value("${app.fast-load.parallelism:4}") int parallelism,
+            @Value("${app.fast-load.index-threads:2}") int indexThreads,
+            @Value("${app.fast-load.maintenance-work-mem:1GB}") String maintenanceWorkMem,
+            @Value("${app.fast-load.concurrent-indexes:false}") boolean concurrentIndexes
     ) {
-        return new DynamicItemWriter(jdbcTemplate, headerHolder, inputFilePath);
+        return new FastLoadOptions(enabled, indexColumns, parallelism, indexThreads,
+                maintenanceWorkMem, concurrentIndexes);
     }
 
 
@@ -104,4 +147,34 @@ public class BatchConfig {
                 .start(dynamicStep)
                 .build();
     }
+
+    @Bean
+    @StepScope
+    public TableExportTasklet exportTasklet(
+            @org.springframework.beans.factory.annotation.Qualifier("targetJdbcTemplate") JdbcTemplate jdbcTemplate,
+            @Value("#{jobParameters['export.table']}") String tableName,
+            @Value("${app.export.dir:export}") String outputDir,
+            @Value("${app.export.partitions:4}") int partitions,
+            @Value("${app.export.fetch-size:10000}") int fetchSize,
+            @Value("${app.export.gzip:false}") boolean gzip
+    ) {
+        return new TableExportTasklet(jdbcTemplate, tableName, new File(outputDir), partitions, fetchSize, gzip);
+    }
+
+    @Bean
+    public Step exportStep(JobRepository jobRepository,
+                           PlatformTransactionManager transactionManager,
+                           TableExportTasklet exportTasklet) {
+
+        return new StepBuilder("exportStep", jobRepository)
+                .tasklet(exportTasklet, transactionManager)
+                .build();
+    }
+
+    @Bean
+    public Job exportJob(JobRepository jobRepository, Step exportStep) {
+        return new JobBuilder("dynamicExportJob", jobRepository)
+                .start(exportStep)
+                .build();
+    }
 }
@@ -0,0 +1,59 @@
+package com.student.springbatchproject;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Database product detection and identifier handling shared by the import writer and the
+ * exporter. {@code dbProduct} is the lower-cased JDBC product name, matched with
+ * {@code contains("oracle")} / {@code contains("postgresql")}, anything else being MySQL.
+ */
+public final class DbDialect {
+
+    private static final Set<String> RESERVED_WORDS = Set.of(
+            "INDEX","ORDER","DATE","NUMBER","ROWNUM",
+            "SELECT","INSERT","UPDATE","DELETE","WHERE","FROM","GROUP","USER",
+            "TABLE","VIEW","KEY","PRIMARY","FOREIGN","CHECK","LONG","LEVEL"
+    );
+
+    private DbDialect() {}
+
+    public static String detectProduct(DataSource dataSource) throws SQLException {
+        try (Connection metaConn = dataSource.getConnection()) {
+            return metaConn.getMetaData().getDatabaseProductName().toLowerCase();
+        }
+    }
+
+    public static String sanitizeColumnName(String name) {
+        String col = name.trim().replaceAll("[^a-zA-Z0-9_]", "_").toLowerCase();
+        if (!col.matches("^[a-zA-Z].*")) col = "col_" + col;
+        col = col.replaceAll("_+", "_").replaceAll("_$", "");
+        if (RESERVED_WORDS.contains(col.toUpperCase())) col = col + "_col";
+        return col;
+    }
+
+    public static String sanitizeTableName(String name) {
+        return name.trim().replaceAll("[^a-zA-Z0-9_]", "_").toLowerCase();
+    }
+
+    /**
+     * Table name as the writer creates it: upper-case on Oracle, quoted on PostgreSQL,
+     * back-ticked on MySQL.
+     */
+    public static String quoteTable(String dbProduct, String tableName) {
+        if (dbProduct.contains("oracle")) return tableName.toUpperCase();
+        if (dbProduct.contains("postgresql")) return "\"" + tableName + "\"";
+        return "`" + tableName + "`";
+    }
+
+    /**
+     * Sanitized column name quoted the same way as {@link #quoteTable}.
+     */
+    public static String quoteColumn(String dbProduct, String column) {
+        if (dbProduct.contains("oracle")) return column.toUpperCase();
+        if (dbProduct.contains("postgresql")) return "\"" + column + "\"";
+        return "`" + column + "`";
+    }
+}
@@ -1,17 +1,55 @@
 package com.student.springbatchproject;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.item.ItemProcessor;
 import java.util.Arrays;
+import java.util.Map;
 
-public class DynamicItemProcessor implements ItemProcessor<String[], String[]> {
+public class DynamicItemProcessor implements ItemProcessor<String[], String[]>, StepExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DynamicItemProcessor.class);
+
+    private final RowValidator validator;
+    private final RejectedRowWriter rejectedRowWriter;
+
+    public DynamicItemProcessor(RowValidator validator, RejectedRowWriter rejectedRowWriter) {
+        this.validator = validator;
+        this.rejectedRowWriter = rejectedRowWriter;
+    }
 
     @Override
     public String[] process(String[] item) {
         if (item == null) return null;
-        for (int i = 0; i < item.length; i++) {
-            item[i] = (item[i] == null) ? "" : item[i].trim();
+        if (validator == null) {
+            for (int i = 0; i < item.length; i++) {
+                item[i] = (item[i] == null) ? "" : item[i].trim();
+            }
+        } else {
+            String reason = validator.apply(item);
+            if (reason != null) {
+                rejectedRowWriter.reject(item, reason);
+                return null;
+            }
         }
-        System.out.println("Reading Row: " + Arrays.toString(item));
+        if (logger.isDebugEnabled()) logger.debug("Reading Row: {}", Arrays.toString(item));
         return item;
     }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (validator == null) return null;
+        Map<String, Long> violations = validator.getViolations();
+        if (violations.isEmpty()) {
+            logger.info("Validation: no violations");
+        }
+        violations.forEach((column, count) -> {
+            logger.info("Validation: {} violation(s) in column '{}'", count, column);
+            stepExecution.getExecutionContext().putLong("validation.violations." + column, count);
+        });
+        return null;
+    }
 }
@@ -2,6 +2,10 @@ package com.student.springbatchproject;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,29 +14,51 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.sql.Savepoint;
+import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-public class DynamicItemWriter implements ItemWriter<String[]> {
+public class DynamicItemWriter implements ItemWriter<String[]>, StepExecutionListener {
 
     private static final Logger logger = LoggerFactory.getLogger(DynamicItemWriter.class);
 
     private final String inputFilePath;
     private final JdbcTemplate jdbcTemplate;
     private final HeaderHolder headerHolder;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final FastLoadOptions fastLoad;
 
     private Connection globalConnection;
+    private final RejectedRowWriter rejectedRowWriter;
 
     private String tableName;
     private String dbProduct;
+    private String deferredIndexTable;
 
     public DynamicItemWriter(JdbcTemplate jdbcTemplate,
                              HeaderHolder headerHolder,
-                             @Value("#{jobParameters['input.file']}") String inputFilePath) {
+                             @Value("#{jobParameters['input.file']}") String inputFilePath,
+                             RejectedRowWriter rejectedRowWriter,
+                             int maxRetries,
+                             long retryBackoffMs,
+                             FastLoadOptions fastLoad) {
         this.jdbcTemplate = jdbcTemplate;
         this.headerHolder = headerHolder;
         this.inputFilePath = inputFilePath;
+        this.rejectedRowWriter = rejectedRowWriter;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.fastLoad = fastLoad;
     }
 
 
@@ -46,9 +72,7 @@ public class DynamicItemWriter implements ItemWriter<String[]> {
             File file = new File(inputFilePath);
             String baseName = file.getName().replaceFirst("[.][^.]+$", "");
             this.tableName = sanitizeTableName(baseName + "_table");
-            try (Connection metaConn = jdbcTemplate.getDataSource().getConnection()) {
-                this.dbProduct = metaConn.getMetaData().getDatabaseProductName().toLowerCase();
-            }
+            this.dbProduct = DbDialect.detectProduct(jdbcTemplate.getDataSource());
             globalConnection = jdbcTemplate.getDataSource().getConnection();
             globalConnection.setAutoCommit(false);
             logger.info("Writer initialized.");
@@ -74,6 +98,42 @@ public class DynamicItemWriter implements ItemWriter<String[]> {
             try { globalConnection.close(); } catch (Exception ignored) {}
         }
     }
+
+    /**
+     * Records the number of rejected rows in the step execution context.
+     * In fast initial load mode the new table was created bare; once every chunk is written,
+     * commit the load and build the primary key and configured indexes in one pass each.
+     * A load that did not complete is rolled back and the new table dropped, so a later run
+     * does not append to a table without a primary key; a failed build fails the step.
+     */
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        long rejected = rejectedRowWriter.getRejectedCount();
+        stepExecution.getExecutionContext().putLong("rejected.rows", rejected);
+        if (rejected > 0) logger.warn("{} row(s) rejected during the load", rejected);
+
+        if (deferredIndexTable == null) return null;
+        try {
+            if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+                logger.warn("Step ended with status {}, rolling back the load and dropping '{}'",
+                        stepExecution.getStatus(), deferredIndexTable);
+                globalConnection.rollback();
+                dropTable(deferredIndexTable);
+                return null;
+            }
+            globalConnection.commit();
+            logger.info("Load committed, building deferred indexes on '{}'", deferredIndexTable);
+            buildDeferredIndexes(deferredIndexTable, headerHolder.getHeaders());
+            return null;
+        } catch (Exception e) {
+            logger.error("Post-load step failed on {}: {}", deferredIndexTable, e.getMessage(), e);
+            stepExecution.setStatus(BatchStatus.FAILED);
+            stepExecution.addFailureException(e);
+            return ExitStatus.FAILED;
+        } finally {
+            deferredIndexTable = null;
+        }
+    }
     private boolean firstRunCompleted = false;
     @Override
     public void write(Chunk<? extends String[]> chunk) throws Exception {
@@ -86,14 +146,14 @@ public class DynamicItemWriter implements ItemWriter<String[]> {
         }
         boolean exists = checkTableExists(tableName);
         if (!exists) {
-            createTable(tableName, headers);
+            createTable(tableName, headers, fastLoad.isEnabled());
             insertRows(tableName, headers, rows);
             firstRunCompleted = true;
             return;
         }
         if (!validateColumns(tableName, headers)) {
             String newTable = getNextVersionedTableName(tableName);
-            createTable(newTable, headers);
+            createTable(newTable, headers, fastLoad.isEnabled());
             insertRows(newTable, headers, rows);
             tableName = newTable;
             firstRunCompleted = true;
@@ -168,7 +228,12 @@ public class DynamicItemWriter implements ItemWriter<String[]> {
     }
 
 
-    private void createTable(String tableName, String[] headers) {
+    /**
+     * Creates the target table. With {@code deferIndexes} the table is created for a fast
+     * initial load: no primary key on Oracle/PostgreSQL (MySQL keeps it, AUTO_INCREMENT needs
+     * a key) and no secondary indexes until {@link #afterStep} builds them.
+     */
+    void createTable(String tableName, String[] headers, boolean deferIndexes) {
         try {
 
             String dbProduct = this.dbProduct;
@@ -178,7 +243,7 @@ public class DynamicItemWriter implements ItemWriter<String[]> {
 
             if (dbProduct.contains("oracle")) {
                 sql.append("CREATE TABLE ").append(tableName.toUpperCase())
-                        .append(" (ID NUMBER PRIMARY KEY");
+                        .append(deferIndexes ? " (ID NUMBER" : " (ID NUMBER PRIMARY KEY");
 
                 for (String header : headers) {
                     String col = sanitizeColumnName(header).toUpperCase();
@@ -189,7 +254,7 @@ public class DynamicItemWriter implements ItemWriter<String[]> {
             else if (dbProduct.contains("postgresql")) {
 
                 sql.append("CREATE TABLE ").append(tableName)
-                        .append(" (id SERIAL PRIMARY KEY");
+                        .append(deferIndexes ? " (id SERIAL" : " (id SERIAL PRIMARY KEY");
 
                 for (String header : headers) {
                     sql.append(", ")
@@ -199,16 +264,11 @@ public class DynamicItemWriter implements ItemWriter<String[]> {
                 sql.append(")");
             }
             else {
-                sql.append("CREATE TABLE `").append(tableName).append("`")
+                sql.append("CREATE TABLE ").append(DbDialect.quoteTable(dbProduct, tableName))
                         .append(" (id INT AUTO_INCREMENT PRIMARY KEY");
 
                 for (String header : headers) {
-                    String col = sanitizeColumnName(header);
-                    if (col.equalsIgnoreCase("index")) {
-                        col = "`index`";
-                    } else {
-                        col = "`" + col + "`";
-                    }
+                    String col = DbDialect.quoteColumn(dbProduct, sanitizeColumnName(header));
                     sql.append(", ")
                             .append(col)
                             .append(" TEXT");
@@ -232,12 +292,186 @@ public class DynamicItemWriter implements ItemWriter<String[]> {
                 );
             }
 
+            if (deferIndexes) {
+                deferredIndexTable = tableName;
+                logger.info("Fast initial load: indexes on '{}' deferred until the load completes", tableName);
+            }
+
         } catch (Exception e) {
             logger.error("Error creating table {}: {}", tableName, e.getMessage());
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Drops a table created by this run, with the Oracle sequence that feeds its ids
+     * (the trigger goes with the table).
+     */
+    private void dropTable(String tableName) {
+        if (dbProduct.contains("oracle")) {
+            jdbcTemplate.execute("DROP TABLE " + tableName.toUpperCase() + " PURGE");
+            jdbcTemplate.execute("DROP SEQUENCE " + tableName + "_seq");
+        } else {
+            jdbcTemplate.execute("DROP TABLE " + DbDialect.quoteTable(dbProduct, tableName));
+        }
+        logger.info("Dropped incomplete table '{}'", tableName);
+    }
+
+    /**
+     * Builds the primary key first, then the configured indexes on {@code indexThreads}
+     * connections at once, each using the database's own parallel index build, and finally
+     * refreshes optimizer statistics. {@code CREATE INDEX CONCURRENTLY} builds on the same
+     * table wait for each other, so with concurrent indexes they run one at a time.
+     */
+    private void buildDeferredIndexes(String tableName, String[] headers) throws Exception {
+        long start = System.currentTimeMillis();
+
+        List<String> pkStatements = primaryKeyStatements(tableName);
+        if (!pkStatements.isEmpty()) {
+            runDdl(pkStatements);
+        }
+
+        List<String> columns = resolveIndexColumns(headers);
+        if (!columns.isEmpty()) {
+            boolean concurrent = dbProduct.contains("postgresql") && fastLoad.isConcurrentIndexes();
+            int threads = concurrent ? 1 : Math.min(fastLoad.getIndexThreads(), columns.size());
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> builds = new ArrayList<>();
+                for (String col : columns) {
+                    List<String> statements = new ArrayList<>();
+                    statements.add(buildCreateIndexSql(tableName, col));
+                    if (dbProduct.contains("oracle")) {
+                        statements.add("ALTER INDEX " + indexName(tableName, col).toUpperCase() + " NOPARALLEL LOGGING");
+                    }
+                    builds.add(pool.submit(() -> {
+                        runDdl(statements);
+                        return null;
+                    }));
+                }
+                for (Future<?> build : builds) build.get();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        if (dbProduct.contains("oracle")) {
+            runDdl(List.of(
+                    "BEGIN DBMS_STATS.GATHER_TABLE_STATS(USER, '" + tableName.toUpperCase() + "', degree => "
+                            + fastLoad.getParallelism() + ", cascade => TRUE); END;"));
+        } else if (dbProduct.contains("postgresql")) {
+            runDdl(List.of("ANALYZE " + DbDialect.quoteTable(dbProduct, tableName)));
+        } else {
+            runDdl(List.of("ANALYZE TABLE " + DbDialect.quoteTable(dbProduct, tableName)));
+        }
+
+        logger.info("Built primary key and {} index(es) on '{}' in {} ms",
+                columns.size(), tableName, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds the primary key a fast initial load left out. MySQL has none to add: the table keeps
+     * its AUTO_INCREMENT key.
+     */
+    List<String> primaryKeyStatements(String tableName) {
+        List<String> statements = new ArrayList<>();
+        if (dbProduct.contains("oracle")) {
+            String table = tableName.toUpperCase();
+            String pk = indexName(tableName, "pk").toUpperCase();
+            statements.add("CREATE UNIQUE INDEX " + pk + " ON " + table + " (ID)"
+                    + " NOLOGGING PARALLEL " + fastLoad.getParallelism());
+            statements.add("ALTER TABLE " + table + " ADD CONSTRAINT " + pk + " PRIMARY KEY (ID) USING INDEX " + pk);
+            // leaving a parallel degree on the index would make the optimizer plan parallel queries
+            statements.add("ALTER INDEX " + pk + " NOPARALLEL LOGGING");
+        } else if (dbProduct.contains("postgresql")) {
+            statements.add("ALTER TABLE " + DbDialect.quoteTable(dbProduct, tableName) + " ADD PRIMARY KEY (id)");
+        }
+        return statements;
+    }
+
+    /**
+     * Runs DDL on a dedicated autocommit connection with the session tuned for index builds,
+     * so several builds can proceed side by side. The tuning is reset before the connection
+     * goes back to the pool.
+     */
+    private void runDdl(List<String> statements) throws SQLException {
+        try (Connection conn = jdbcTemplate.getDataSource().getConnection();
+             Statement st = conn.createStatement()) {
+            conn.setAutoCommit(true);
+            if (dbProduct.contains("postgresql")) {
+                if (fastLoad.getMaintenanceWorkMem() != null && !fastLoad.getMaintenanceWorkMem().isBlank()) {
+                    st.execute("SET maintenance_work_mem = '" + fastLoad.getMaintenanceWorkMem().replace("'", "") + "'");
+                }
+                st.execute("SET max_parallel_maintenance_workers = " + fastLoad.getParallelism());
+            } else if (dbProduct.contains("mysql")) {
+                try {
+                    st.execute("SET SESSION innodb_ddl_threads = " + fastLoad.getParallelism());
+                } catch (SQLException e) {
+                    logger.debug("innodb_ddl_threads not supported by this server: {}", e.getMessage());
+                }
+            }
+            try {
+                for (String sql : statements) {
+                    logger.info("Executing: {}", sql);
+                    st.execute(sql);
+                }
+            } finally {
+                if (dbProduct.contains("postgresql")) {
+                    st.execute("RESET maintenance_work_mem");
+                    st.execute("RESET max_parallel_maintenance_workers");
+                } else if (dbProduct.contains("mysql")) {
+                    try {
+                        st.execute("SET SESSION innodb_ddl_threads = DEFAULT");
+                    } catch (SQLException e) {
+                        logger.debug("innodb_ddl_threads not supported by this server: {}", e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    String buildCreateIndexSql(String tableName, String col) {
+        String index = indexName(tableName, col);
+        if (dbProduct.contains("oracle")) {
+            return "CREATE INDEX " + index.toUpperCase() + " ON " + tableName.toUpperCase() + " (" + col.toUpperCase() + ")"
+                    + " NOLOGGING PARALLEL " + fastLoad.getParallelism();
+        }
+        if (dbProduct.contains("postgresql")) {
+            // CONCURRENTLY keeps the table writable during the build at the cost of a second scan
+            String concurrently = fastLoad.isConcurrentIndexes() ? "CONCURRENTLY " : "";
+            return "CREATE INDEX " + concurrently + DbDialect.quoteColumn(dbProduct, index)
+                    + " ON " + DbDialect.quoteTable(dbProduct, tableName) + " (" + DbDialect.quoteColumn(dbProduct, col) + ")";
+        }
+        // TEXT columns can only be indexed on a prefix in MySQL
+        return "ALTER TABLE " + DbDialect.quoteTable(dbProduct, tableName) + " ADD INDEX " + DbDialect.quoteColumn(dbProduct, index)
+                + " (" + DbDialect.quoteColumn(dbProduct, col) + "(191))";
+    }
+
+    List<String> resolveIndexColumns(String[] headers) {
+        List<String> columns = new ArrayList<>();
+        for (String wanted : fastLoad.getIndexColumns()) {
+            String match = null;
+            for (String h : headers) {
+                if (h.equalsIgnoreCase(wanted) || sanitizeColumnName(h).equalsIgnoreCase(wanted)) {
+                    match = sanitizeColumnName(h);
+                    break;
+                }
+            }
+            if (match == null) {
+                logger.warn("Index column '{}' is not in the CSV header, skipped", wanted);
+            } else if (!columns.contains(match)) {
+                columns.add(match);
+            }
+        }
+        return columns;
+    }
+
+    String indexName(String tableName, String suffix) {
+        String name = suffix.equals("pk") ? tableName + "_pk" : tableName + "_" + suffix + "_idx";
+        // Oracle before 12.2 limits identifiers to 30 characters
+        return name.length() > 30 ? name.substring(0, 22) + "_" + Integer.toHexString(name.hashCode() & 0xfffffff) : name;
+    }
+
 
     private List<String[]> filterDuplicatesFromDB(String tableName, String[] headers, List<? extends String[]> newRows) {
         try {
@@ -290,91 +524,218 @@ public class DynamicItemWriter implements ItemWriter<String[]> {
 
     private final Map<String, String> sqlCache = new HashMap<>();
 
+    /**
+     * Inserts the rows as one JDBC batch. Each attempt runs under a savepoint so a failure
+     * only undoes this batch. On a data error ({@link #isRowDataError}) the rows the driver
+     * reports as failed in {@link BatchUpdateException#getUpdateCounts()} go to the reject file
+     * and the rest are re-submitted as a batch. Transient errors (deadlock, serialization, lock
+     * timeout) are retried with exponential backoff instead; anything else fails the write.
+     */
     private void insertRows(String tableName, String[] headers, List<? extends String[]> rows) throws Exception {
 
         String sql = sqlCache.computeIfAbsent(tableName, t -> buildInsertQuery(tableName, headers));
         logger.info("Using SQL: {}", sql);
 
         try (PreparedStatement ps = globalConnection.prepareStatement(sql)) {
+            insertBatch(ps, headers, new ArrayList<>(rows));
+        }
+    }
 
-            for (String[] row : rows) {
-                for (int i = 0; i < headers.length; i++) {
-                    ps.setString(i + 1, row[i]);
+    /**
+     * Runs one batch under a savepoint (on PostgreSQL and MySQL setting and releasing it are
+     * round trips of their own). When the driver cannot say which rows failed, the batch is
+     * split in half and each half retried, down to single rows.
+     */
+    private void insertBatch(PreparedStatement ps, String[] headers, List<String[]> rows) throws Exception {
+        List<String[]> pending = rows;
+        int attempt = 0;
+
+        while (!pending.isEmpty()) {
+            Savepoint savepoint = globalConnection.setSavepoint();
+            try {
+                for (String[] row : pending) {
+                    for (int i = 0; i < headers.length; i++) {
+                        ps.setString(i + 1, i < row.length ? row[i] : null);
+                    }
+                    ps.addBatch();
                 }
-                ps.addBatch();
-            }
-            ps.executeBatch();
+                ps.executeBatch();
+                releaseSavepoint(savepoint);
+                return;
 
-        } catch (Exception e) {
-            logger.error("Batch insert failed: {}", e.getMessage(), e);
-            throw e;
-        }
+            } catch (SQLException e) {
+                rollbackBatch(ps, savepoint, e);
 
-    }
+                if (isTransient(e, dbProduct)) {
+                    if (attempt >= maxRetries) {
+                        logger.error("Batch insert failed after {} retries: {}", maxRetries, e.getMessage(), e);
+                        throw e;
+                    }
+                    long delay = retryBackoffMs << attempt;
+                    attempt++;
+                    logger.warn("Transient error on batch insert, retry {}/{} in {} ms: {}",
+                            attempt, maxRetries, delay, e.getMessage());
+                    Thread.sleep(delay);
+                    continue;
+                }
 
+                if (!(e instanceof BatchUpdateException bue) || !isRowDataError(e, dbProduct)) {
+                    logger.error("Batch insert failed: {}", e.getMessage(), e);
+                    throw e;
+                }
+                Set<Integer> failed = pending.size() == 1
+                        ? Set.of(0)
+                        : findFailedRows(bue.getUpdateCounts(), pending.size());
+
+                if (failed == null) {
+                    int mid = pending.size() / 2;
+                    logger.warn("Driver did not report which of {} rows failed, retrying in halves: {}",
+                            pending.size(), rootMessage(e));
+                    insertBatch(ps, headers, new ArrayList<>(pending.subList(0, mid)));
+                    insertBatch(ps, headers, new ArrayList<>(pending.subList(mid, pending.size())));
+                    return;
+                }
+                if (failed.isEmpty()) {
+                    logger.error("Batch insert failed: {}", e.getMessage(), e);
+                    throw e;
+                }
 
+                String reason = rootMessage(e);
+                List<String[]> remaining = new ArrayList<>(pending.size() - failed.size());
+                for (int i = 0; i < pending.size(); i++) {
+                    if (failed.contains(i)) {
+                        rejectedRowWriter.reject(pending.get(i), reason);
+                    } else {
+                        remaining.add(pending.get(i));
+                    }
+                }
+                logger.warn("Rejected {} row(s), re-submitting {}: {}", failed.size(), remaining.size(), reason);
+                pending = remaining;
+            }
+        }
+    }
 
-    private String buildInsertQuery(String tableName, String[] headers){
-        StringBuilder sql = new StringBuilder();
-        if (dbProduct.contains("oracle")) {
-            String seq = tableName.toUpperCase() + "_SEQ";
-            sql.append("INSERT INTO ").append(tableName.toUpperCase()).append(" (ID");
+    /**
+     * Undoes a failed batch. If that fails too (e.g. the database already rolled back the whole
+     * transaction), the original error is rethrown with the rollback error attached.
+     */
+    private void rollbackBatch(PreparedStatement ps, Savepoint savepoint, SQLException cause) throws SQLException {
+        try {
+            ps.clearBatch();
+            globalConnection.rollback(savepoint);
+        } catch (SQLException rollbackError) {
+            cause.addSuppressed(rollbackError);
+            logger.error("Batch insert failed and could not be rolled back to its savepoint: {}", cause.getMessage(), cause);
+            throw cause;
+        }
+    }
 
-            for (String h : headers) {
-                sql.append(", ").append(sanitizeColumnName(h).toUpperCase());
+    /**
+     * Works out which batch entries failed from the driver's update counts. Returns the failed
+     * indexes, an empty set when the counts show no failure, or null when they cannot tell.
+     * <ul>
+     * <li>A short array only comes from drivers that stop at the first error (Oracle 12c+,
+     * MySQL without continueBatchOnError): the entry right after the last count failed.</li>
+     * <li>Successes after a failure mean the driver kept going (MySQL with
+     * continueBatchOnError), so every EXECUTE_FAILED entry is a bad row.</li>
+     * <li>Successes followed only by EXECUTE_FAILED (PostgreSQL) mark the first failed row;
+     * the ones after it were never run.</li>
+     * <li>All entries EXECUTE_FAILED is what Oracle prepared-statement batches and MySQL with
+     * rewriteBatchedStatements report when they cannot tell which row failed: unknown.</li>
+     * </ul>
+     */
+    static Set<Integer> findFailedRows(int[] updateCounts, int batchSize) {
+        if (updateCounts == null) return null;
+        if (updateCounts.length < batchSize) {
+            return Set.of(updateCounts.length);
+        }
+        int firstFailed = -1;
+        boolean successAfterFailure = false;
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                if (firstFailed < 0) firstFailed = i;
+            } else if (firstFailed >= 0) {
+                successAfterFailure = true;
             }
+        }
+        if (firstFailed < 0) return Collections.emptySet();
+        if (firstFailed == 0 && !successAfterFailure) return batchSize == 1 ? Set.of(0) : null;
+        if (!successAfterFailure) return Set.of(firstFailed);
 
-            sql.append(") VALUES (").append(seq).append(".NEXTVAL");
+        Set<Integer> failed = new HashSet<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == Statement.EXECUTE_FAILED) failed.add(i);
+        }
+        return failed;
+    }
 
-            for (int i = 0; i < headers.length; i++) {
-                sql.append(", ?");
-            }
-            sql.append(")");
+    /**
+     * Errors worth retrying after rolling back to the batch savepoint. On MySQL a deadlock (1213)
+     * rolls back the whole transaction, savepoint included, so it is not retried there; a lock
+     * wait timeout (1205, also reported with SQLState 40001) only rolls back the statement.
+     */
+    static boolean isTransient(SQLException e, String dbProduct) {
+        boolean mysql = dbProduct.contains("mysql");
+        for (SQLException ex = e; ex != null; ex = ex.getNextException()) {
+            if (ex instanceof SQLTransientConnectionException) return false;
+            String state = ex.getSQLState();
+            int code = ex.getErrorCode();
+            if (mysql && code == 1205) return true;
+            if (mysql && code == 1213) return false;
+            if (ex instanceof SQLTransientException) return true;
+            // 40001 serialization failure, 40P01 deadlock
+            if (state != null && state.startsWith("40")) return true;
+            if (dbProduct.contains("oracle") && (code == 60 || code == 8177)) return true;
+        }
+        return false;
+    }
 
-        } else if (dbProduct.contains("postgresql")) {
-            StringJoiner cols = new StringJoiner(", ");
-            StringJoiner placeholders = new StringJoiner(", ");
-            for (String header : headers) {
-                String col = sanitizeColumnName(header);
-                if (col.equalsIgnoreCase("index")) {
-                    col = "\"index\"";
-                } else {
-                    col = "\"" + col + "\"";
-                }
-                cols.add(col);
-                placeholders.add("?");
-            }
-            sql.append("INSERT INTO \"")
-                    .append(tableName)
-                    .append("\" (")
-                    .append(cols)
-                    .append(") VALUES (")
-                    .append(placeholders)
-                    .append(")");
+    /**
+     * Errors caused by the values of a row, which is all a reject file can fix: SQLState class 22
+     * (data exception) or 23 (constraint violation), plus Oracle's ORA-12899 (value too large),
+     * ORA-01400 (NULL into NOT NULL) and ORA-01722 (invalid number), which report other states.
+     * Anything else (missing table, permissions, full tablespace, timeouts) fails the step.
+     */
+    static boolean isRowDataError(SQLException e, String dbProduct) {
+        boolean oracle = dbProduct.contains("oracle");
+        for (SQLException ex = e; ex != null; ex = ex.getNextException()) {
+            String state = ex.getSQLState();
+            if (state != null && (state.startsWith("22") || state.startsWith("23"))) return true;
+            int code = ex.getErrorCode();
+            if (oracle && (code == 12899 || code == 1400 || code == 1722)) return true;
+        }
+        return false;
+    }
 
-        } else {
-            StringJoiner cols = new StringJoiner(", ");
-            StringJoiner placeholders = new StringJoiner(", ");
-            for (String header : headers) {
-                String col = sanitizeColumnName(header);
-
-                if (col.equalsIgnoreCase("index")) {
-                    col = "`index`";
-                } else {
-                    col = "`" + col + "`";
-                }
-                cols.add(col);
-                placeholders.add("?");
-            }
-            sql.append("INSERT INTO `")
-                    .append(tableName)
-                    .append("` (")
-                    .append(cols)
-                    .append(") VALUES (")
-                    .append(placeholders)
-                    .append(")");
-        }
-        return sql.toString();
+    private String rootMessage(SQLException e) {
+        SQLException next = e.getNextException();
+        String message = (next != null ? next : e).getMessage();
+        return message == null ? e.getClass().getSimpleName() : message.trim();
+    }
+
+    private void releaseSavepoint(Savepoint savepoint) {
+        // Oracle does not support releasing savepoints; they go away with the commit.
+        if (dbProduct.contains("oracle")) return;
+        try {
+            globalConnection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            logger.debug("Could not release savepoint: {}", e.getMessage());
+        }
+    }
+
+    private String buildInsertQuery(String tableName, String[] headers){
+        StringJoiner cols = new StringJoiner(", ");
+        StringJoiner placeholders = new StringJoiner(", ");
+        if (dbProduct.contains("oracle")) {
+            cols.add("ID");
+            placeholders.add(tableName.toUpperCase() + "_SEQ.NEXTVAL");
+        }
+        for (String header : headers) {
+            cols.add(DbDialect.quoteColumn(dbProduct, sanitizeColumnName(header)));
+            placeholders.add("?");
+        }
+        return "INSERT INTO " + DbDialect.quoteTable(dbProduct, tableName)
+                + " (" + cols + ") VALUES (" + placeholders + ")";
     }
 
     private String getNextVersionedTableName(String base) {
@@ -386,24 +747,11 @@ public class DynamicItemWriter implements ItemWriter<String[]> {
         }
     }
 
-//    private String sanitizeColumnName(String name) {
-//        return name.trim().replaceAll("[^a-zA-Z0-9_]", "_").toLowerCase();
-//    }
-private static final Set<String> RESERVED_WORDS = Set.of(
-        "INDEX","ORDER","DATE","NUMBER","ROWNUM",
-        "SELECT","INSERT","UPDATE","DELETE","WHERE","FROM","GROUP","USER",
-        "TABLE","VIEW","KEY","PRIMARY","FOREIGN","CHECK","LONG","LEVEL"
-);
-
     private String sanitizeColumnName(String name) {
-        String col = name.trim().replaceAll("[^a-zA-Z0-9_]", "_").toLowerCase();
-        if (!col.matches("^[a-zA-Z].*")) col = "col_" + col;
-        col = col.replaceAll("_+", "_").replaceAll("_$", "");
-        if (RESERVED_WORDS.contains(col.toUpperCase())) col = col + "_col";
-        return col;
+        return DbDialect.sanitizeColumnName(name);
     }
 
     private String sanitizeTableName(String name) {
-        return name.trim().replaceAll("[^a-zA-Z0-9_]", "_").toLowerCase();
+        return DbDialect.sanitizeTableName(name);
     }
 }
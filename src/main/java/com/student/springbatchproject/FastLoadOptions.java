@@ -0,0 +1,44 @@
+package com.student.springbatchproject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for loading into a freshly created table: when enabled the primary key and the
+ * configured indexes are built after the data is in, instead of being maintained row by row.
+ */
+public class FastLoadOptions {
+
+    private final boolean enabled;
+    private final List<String> indexColumns;
+    private final int parallelism;
+    private final int indexThreads;
+    private final String maintenanceWorkMem;
+    private final boolean concurrentIndexes;
+
+    public FastLoadOptions(boolean enabled,
+                           String indexColumns,
+                           int parallelism,
+                           int indexThreads,
+                           String maintenanceWorkMem,
+                           boolean concurrentIndexes) {
+        this.enabled = enabled;
+        this.indexColumns = new ArrayList<>();
+        if (indexColumns != null) {
+            for (String col : indexColumns.split(",")) {
+                if (!col.isBlank()) this.indexColumns.add(col.trim());
+            }
+        }
+        this.parallelism = Math.max(1, parallelism);
+        this.indexThreads = Math.max(1, indexThreads);
+        this.maintenanceWorkMem = maintenanceWorkMem;
+        this.concurrentIndexes = concurrentIndexes;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public List<String> getIndexColumns() { return indexColumns; }
+    public int getParallelism() { return parallelism; }
+    public int getIndexThreads() { return indexThreads; }
+    public String getMaintenanceWorkMem() { return maintenanceWorkMem; }
+    public boolean isConcurrentIndexes() { return concurrentIndexes; }
+}
@@ -2,6 +2,7 @@ package com.student.springbatchproject;
 
 import org.springframework.batch.core.*;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -13,6 +14,7 @@ public class JobLauncherRunner implements CommandLineRunner {
 
     private final JobLauncher jobLauncher;
     private final Job job;
+    private final Job exportJob;
 
     @Value("${batch.job.auto-start:true}")
     private boolean autoStart;
@@ -20,9 +22,18 @@ public class JobLauncherRunner implements CommandLineRunner {
     @Value("${app.input-file}")
     private String inputFilePath;
 
-    public JobLauncherRunner(JobLauncher jobLauncher, Job dynamicCsvJob) {
+    @Value("${app.mode:import}")
+    private String mode;
+
+    @Value("${app.export.table:}")
+    private String exportTable;
+
+    public JobLauncherRunner(JobLauncher jobLauncher,
+                             @Qualifier("dynamicJob") Job dynamicCsvJob,
+                             @Qualifier("exportJob") Job exportJob) {
         this.jobLauncher = jobLauncher;
         this.job = dynamicCsvJob;
+        this.exportJob = exportJob;
     }
 
     @Override
@@ -33,6 +44,11 @@ public class JobLauncherRunner implements CommandLineRunner {
             return;
         }
 
+        if ("export".equalsIgnoreCase(mode)) {
+            runExport();
+            return;
+        }
+
         System.out.println("Reading CSV file from application.properties...");
         System.out.println("Configured input file: " + inputFilePath);
 
@@ -64,4 +80,32 @@ public class JobLauncherRunner implements CommandLineRunner {
 
         System.out.println("Job finished!");
     }
+
+    private void runExport() {
+        String table;
+        if (exportTable != null && !exportTable.isBlank()) {
+            table = DbDialect.sanitizeTableName(exportTable);
+        } else {
+            if (inputFilePath == null || inputFilePath.isBlank()) {
+                System.out.println("Error: set 'app.export.table' or 'app.input-file' to choose the table to export");
+                return;
+            }
+            String baseName = new File(inputFilePath).getName().replaceFirst("[.][^.]+$", "");
+            table = DbDialect.sanitizeTableName(baseName + "_table");
+        }
+
+        System.out.println("Launching export job for table: " + table);
+
+        JobParameters params = new JobParametersBuilder()
+                .addString("export.table", table)
+                .addLong("time", System.currentTimeMillis())
+                .toJobParameters();
+
+        try {
+            JobExecution exec = jobLauncher.run(exportJob, params);
+            System.out.println("Export completed with status: " + exec.getStatus());
+        } catch (Exception e) {
+            System.err.println("Failed to export " + table + ": " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,102 @@
+package com.student.springbatchproject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends rows that could not be loaded to a CSV reject file, prefixed with the reason.
+ * The file is only created when the first row is rejected.
+ */
+public class RejectedRowWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RejectedRowWriter.class);
+
+    private final File rejectFile;
+    private final String[] headers;
+    private final long maxRejects;
+
+    private BufferedWriter out;
+    private long rejectedCount;
+
+    /**
+     * @param maxRejects number of rejected rows tolerated before the step fails; negative for no limit
+     */
+    public RejectedRowWriter(File rejectFile, String[] headers, long maxRejects) {
+        this.rejectFile = rejectFile;
+        this.headers = headers;
+        this.maxRejects = maxRejects;
+    }
+
+    /**
+     * Derives the default reject file for an input CSV: {@code <basename>_rejects.csv} next to it.
+     */
+    public static File defaultRejectFile(String inputFilePath) {
+        File input = new File(inputFilePath);
+        String baseName = input.getName().replaceFirst("[.][^.]+$", "");
+        return new File(input.getAbsoluteFile().getParentFile(), baseName + "_rejects.csv");
+    }
+
+    public synchronized void reject(String[] row, String reason) {
+        try {
+            if (out == null) open();
+            StringBuilder line = new StringBuilder(escape(reason));
+            for (String value : row) {
+                line.append(',').append(escape(value));
+            }
+            out.write(line.toString());
+            out.newLine();
+            rejectedCount++;
+        } catch (IOException e) {
+            logger.error("Could not write rejected row to {}: {}", rejectFile, e.getMessage());
+            throw new IllegalStateException(e);
+        }
+        if (maxRejects >= 0 && rejectedCount > maxRejects) {
+            throw new IllegalStateException("More than " + maxRejects + " rows rejected, see "
+                    + rejectFile.getAbsolutePath() + " (app.writer.max-rejects)");
+        }
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public synchronized void close() {
+        if (out == null) return;
+        try {
+            out.close();
+            logger.info("{} rejected row(s) written to {}", rejectedCount, rejectFile.getAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Could not close reject file {}: {}", rejectFile, e.getMessage());
+        } finally {
+            out = null;
+        }
+    }
+
+    private void open() throws IOException {
+        File parent = rejectFile.getAbsoluteFile().getParentFile();
+        if (parent != null) Files.createDirectories(parent.toPath());
+        out = Files.newBufferedWriter(rejectFile.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        StringBuilder header = new StringBuilder("reject_reason");
+        for (String h : headers) {
+            header.append(',').append(escape(h));
+        }
+        out.write(header.toString());
+        out.newLine();
+    }
+
+    static String escape(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,249 @@
+package com.student.springbatchproject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Validation rules compiled for one CSV header: a flat array with one check per column position
+ * (null where the column has no rule), each holding its precompiled Pattern, formatter or lookup
+ * set. A row is trimmed, normalized and validated in a single pass, and a valid value that is
+ * already in canonical form is returned as-is. Not thread-safe: the regex checks reuse one
+ * {@link Matcher} each.
+ */
+public final class RowValidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(RowValidator.class);
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    /** Returns the (possibly normalized) value, or null when the value is invalid. */
+    interface ColumnCheck {
+        String apply(String value);
+    }
+
+    private final String[] headers;
+    private final ColumnCheck[] checks;
+    private final boolean[] required;
+    private final String[] messages;
+    private final long[] violations;
+
+    private RowValidator(String[] headers, ColumnCheck[] checks, boolean[] required, String[] messages) {
+        this.headers = headers;
+        this.checks = checks;
+        this.required = required;
+        this.messages = messages;
+        this.violations = new long[headers.length];
+    }
+
+    /**
+     * Compiles the rule set matching {@code headers}, or returns null when no rule set applies.
+     */
+    public static RowValidator compile(String[] headers, ValidationRules rules) {
+        ValidationRules.RuleSet set = rules.findFor(headers);
+        if (set == null) return null;
+
+        ColumnCheck[] checks = new ColumnCheck[headers.length];
+        boolean[] required = new boolean[headers.length];
+        String[] messages = new String[headers.length];
+        int compiled = 0;
+
+        for (Map.Entry<String, ValidationRules.ColumnRule> entry : set.columns.entrySet()) {
+            int col = indexOf(headers, entry.getKey());
+            if (col < 0) {
+                logger.warn("Validation rule for unknown column '{}' ignored", entry.getKey());
+                continue;
+            }
+            ValidationRules.ColumnRule rule = entry.getValue();
+            checks[col] = compileRule(headers[col], rule);
+            required[col] = rule.required;
+            messages[col] = headers[col] + ": invalid " + rule.type;
+            compiled++;
+        }
+        logger.info("Compiled validation rules for {} column(s)", compiled);
+        return new RowValidator(headers, checks, required, messages);
+    }
+
+    /**
+     * Trims every value and applies the column checks in place. Returns null when the row is
+     * valid, otherwise the message of the first failing column; every failing column is counted.
+     */
+    public String apply(String[] row) {
+        String reason = null;
+        for (int i = 0; i < row.length; i++) {
+            String value = row[i] == null ? "" : row[i].trim();
+            row[i] = value;
+            if (i >= checks.length || checks[i] == null) continue;
+
+            if (value.isEmpty()) {
+                if (required[i]) {
+                    violations[i]++;
+                    if (reason == null) reason = headers[i] + ": required";
+                }
+                continue;
+            }
+            String checked = checks[i].apply(value);
+            if (checked == null) {
+                violations[i]++;
+                if (reason == null) reason = messages[i];
+            } else {
+                row[i] = checked;
+            }
+        }
+        for (int i = row.length; i < checks.length; i++) {
+            if (checks[i] != null && required[i]) {
+                violations[i]++;
+                if (reason == null) reason = headers[i] + ": required";
+            }
+        }
+        return reason;
+    }
+
+    /** Violation count per column, keyed by header, for columns that had any. */
+    public Map<String, Long> getViolations() {
+        Map<String, Long> counts = new HashMap<>();
+        for (int i = 0; i < headers.length; i++) {
+            if (violations[i] > 0) counts.put(headers[i], violations[i]);
+        }
+        return counts;
+    }
+
+    private static ColumnCheck compileRule(String header, ValidationRules.ColumnRule rule) {
+        String type = rule.type == null ? "" : rule.type.toLowerCase(Locale.ROOT);
+        switch (type) {
+            case "email":
+                return matching(EMAIL);
+            case "regex":
+                if (rule.pattern == null) throw new IllegalStateException(header + ": regex rule needs a pattern");
+                return matching(Pattern.compile(rule.pattern));
+            case "number":
+                return numberCheck(rule);
+            case "date":
+                return dateCheck(header, rule);
+            case "enum":
+                return enumCheck(rule);
+            default:
+                throw new IllegalStateException(header + ": unknown rule type '" + rule.type + "'");
+        }
+    }
+
+    private static ColumnCheck matching(Pattern pattern) {
+        Matcher matcher = pattern.matcher("");
+        return value -> matcher.reset(value).matches() ? value : null;
+    }
+
+    private static ColumnCheck numberCheck(ValidationRules.ColumnRule rule) {
+        double min = rule.min == null ? Double.NEGATIVE_INFINITY : rule.min;
+        double max = rule.max == null ? Double.POSITIVE_INFINITY : rule.max;
+        boolean integer = rule.integer;
+        return value -> {
+            double number = parseNumber(value, integer);
+            // "Infinity" and "NaN" parse as doubles but are never valid values
+            return (Double.isFinite(number) && number >= min && number <= max) ? value : null;
+        };
+    }
+
+    /**
+     * Parses plain integers by hand so the common case allocates nothing; plain decimals
+     * ({@code [+-]digits[.digits]}) go through {@link Double#parseDouble}, which on its own would
+     * also take Java literals such as {@code 100f}, {@code 1e5} or {@code 0x1p4}. Returns NaN
+     * (never in range) when not a number.
+     */
+    private static double parseNumber(String value, boolean integer) {
+        int i = 0;
+        boolean negative = false;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i = 1;
+        }
+        if (i < value.length() && value.length() - i <= 18) {
+            long result = 0;
+            int j = i;
+            for (; j < value.length(); j++) {
+                char ch = value.charAt(j);
+                if (ch < '0' || ch > '9') break;
+                result = result * 10 + (ch - '0');
+            }
+            if (j == value.length()) return negative ? -result : result;
+        }
+        if (integer || !isPlainDecimal(value, i)) return Double.NaN;
+        return Double.parseDouble(value);
+    }
+
+    private static boolean isPlainDecimal(String value, int start) {
+        int digits = 0;
+        int i = start;
+        while (i < value.length() && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+            i++;
+            digits++;
+        }
+        if (digits == 0) return false;
+        if (i == value.length()) return true;
+        if (value.charAt(i) != '.') return false;
+        int fraction = ++i;
+        while (i < value.length() && value.charAt(i) >= '0' && value.charAt(i) <= '9') i++;
+        return i > fraction && i == value.length();
+    }
+
+    private static ColumnCheck dateCheck(String header, ValidationRules.ColumnRule rule) {
+        if (rule.format == null) throw new IllegalStateException(header + ": date rule needs a format");
+        // STRICT rejects dates like 2021-02-29 instead of rounding them
+        DateTimeFormatter input = DateTimeFormatter.ofPattern(toStrictPattern(rule.format), Locale.ROOT)
+                .withResolverStyle(ResolverStyle.STRICT);
+        DateTimeFormatter output = rule.outputFormat == null || rule.outputFormat.equals(rule.format)
+                ? null
+                : DateTimeFormatter.ofPattern(rule.outputFormat, Locale.ROOT);
+        return value -> {
+            try {
+                LocalDate date = LocalDate.parse(value, input);
+                return output == null ? value : output.format(date);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * STRICT resolution needs {@code u} (year) instead of {@code y} (year-of-era, which would
+     * also need an era). Quoted literals such as {@code 'day'} are left alone.
+     */
+    static String toStrictPattern(String format) {
+        StringBuilder pattern = new StringBuilder(format.length());
+        boolean quoted = false;
+        for (int i = 0; i < format.length(); i++) {
+            char ch = format.charAt(i);
+            if (ch == '\'') quoted = !quoted;
+            pattern.append(!quoted && ch == 'y' ? 'u' : ch);
+        }
+        return pattern.toString();
+    }
+
+    private static ColumnCheck enumCheck(ValidationRules.ColumnRule rule) {
+        Set<String> exact = new HashSet<>(rule.values);
+        if (!rule.ignoreCase) {
+            return value -> exact.contains(value) ? value : null;
+        }
+        Map<String, String> canonical = new HashMap<>();
+        for (String v : rule.values) canonical.put(v.toUpperCase(Locale.ROOT), v);
+        return value -> exact.contains(value) ? value : canonical.get(value.toUpperCase(Locale.ROOT));
+    }
+
+    private static int indexOf(String[] headers, String name) {
+        for (int i = 0; i < headers.length; i++) {
+            if (headers[i].equalsIgnoreCase(name.trim())) return i;
+        }
+        return -1;
+    }
+}
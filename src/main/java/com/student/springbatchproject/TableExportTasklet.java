@@ -0,0 +1,229 @@
+package com.student.springbatchproject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Dumps an imported table back to CSV. The id range is split into {@code partitions} slices,
+ * each streamed on its own connection through a server-side cursor into its own file.
+ * The generated {@code id} column is left out. The header row holds the table's column names,
+ * i.e. the sanitized, lower-cased form of the original CSV header ({@code EmpID} becomes
+ * {@code empid}, reserved words get a {@code _col} suffix).
+ */
+public class TableExportTasklet implements Tasklet {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableExportTasklet.class);
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int GZIP_BUFFER_SIZE = 1 << 16;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String tableName;
+    private final File outputDir;
+    private final int partitions;
+    private final int fetchSize;
+    private final boolean gzip;
+
+    private String dbProduct;
+
+    public TableExportTasklet(JdbcTemplate jdbcTemplate,
+                              String tableName,
+                              File outputDir,
+                              int partitions,
+                              int fetchSize,
+                              boolean gzip) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tableName = (tableName == null || tableName.isBlank()) ? null : DbDialect.sanitizeTableName(tableName);
+        this.outputDir = outputDir;
+        this.partitions = Math.max(1, partitions);
+        this.fetchSize = fetchSize;
+        this.gzip = gzip;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        if (tableName == null) {
+            throw new IllegalStateException("'export.table' job parameter not found!");
+        }
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        this.dbProduct = DbDialect.detectProduct(dataSource);
+        String table = DbDialect.quoteTable(dbProduct, tableName);
+        Files.createDirectories(outputDir.toPath());
+
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS lo, MAX(id) AS hi FROM " + table);
+        Object loValue = bounds.get("lo");
+        Object hiValue = bounds.get("hi");
+        long lo = loValue == null ? 0 : ((Number) loValue).longValue();
+        long hi = hiValue == null ? -1 : ((Number) hiValue).longValue();
+
+        long[][] ranges = sliceRanges(lo, hi, partitions);
+        int slices = ranges.length;
+        logger.info("Exporting {} (id {}..{}) into {} file(s) in {}", table, lo, hi, slices, outputDir.getAbsolutePath());
+
+        String sql = "SELECT * FROM " + table + " WHERE id >= ? AND id < ? ORDER BY id";
+        long start = System.currentTimeMillis();
+        long total = 0;
+
+        ExecutorService pool = Executors.newFixedThreadPool(slices);
+        try {
+            List<Future<Long>> parts = new ArrayList<>();
+            for (int i = 0; i < slices; i++) {
+                long from = ranges[i][0];
+                long to = ranges[i][1];
+                File file = new File(outputDir, fileName(i, slices));
+                parts.add(pool.submit(() -> exportRange(dataSource, sql, from, to, file)));
+            }
+            for (Future<Long> part : parts) {
+                total += part.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        contribution.incrementWriteCount(total);
+        logger.info("Exported {} row(s) from {} in {} ms", total, table, System.currentTimeMillis() - start);
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * Splits the ids {@code lo..hi} into at most {@code partitions} contiguous {@code [from, to)}
+     * ranges whose sizes differ by at most one, never more ranges than ids. An empty table
+     * ({@code hi < lo}) still gets one range, so it is exported as a header-only file.
+     */
+    static long[][] sliceRanges(long lo, long hi, int partitions) {
+        long span = Math.max(0, hi - lo + 1);
+        int slices = (int) Math.max(1, Math.min(partitions, span));
+        long size = span / slices;
+        long remainder = span % slices;
+        long[][] ranges = new long[slices][];
+        long from = lo;
+        for (int i = 0; i < slices; i++) {
+            long to = from + size + (i < remainder ? 1 : 0);
+            ranges[i] = new long[]{from, to};
+            from = to;
+        }
+        return ranges;
+    }
+
+    private long exportRange(DataSource dataSource, String sql, long from, long to, File file) throws Exception {
+        long rows = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            // PostgreSQL only honours the fetch size (server-side cursor) outside autocommit
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(fetchSizeFor(conn));
+                ps.setLong(1, from);
+                ps.setLong(2, to);
+
+                try (ResultSet rs = ps.executeQuery();
+                     Writer out = openWriter(file)) {
+
+                    ResultSetMetaData meta = rs.getMetaData();
+                    List<Integer> columns = new ArrayList<>();
+                    for (int c = 1; c <= meta.getColumnCount(); c++) {
+                        if (!meta.getColumnLabel(c).equalsIgnoreCase("id")) columns.add(c);
+                    }
+                    int[] indexes = columns.stream().mapToInt(Integer::intValue).toArray();
+
+                    for (int c = 0; c < indexes.length; c++) {
+                        if (c > 0) out.write(',');
+                        writeField(out, meta.getColumnLabel(indexes[c]).toLowerCase());
+                    }
+                    out.write('\n');
+
+                    while (rs.next()) {
+                        for (int c = 0; c < indexes.length; c++) {
+                            if (c > 0) out.write(',');
+                            writeField(out, rs.getString(indexes[c]));
+                        }
+                        out.write('\n');
+                        rows++;
+                    }
+                }
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        }
+        logger.info("Wrote {} row(s) for id [{}, {}) to {}", rows, from, to, file.getName());
+        return rows;
+    }
+
+    /**
+     * Oracle and PostgreSQL take the fetch size as rows per round trip. MySQL Connector/J only
+     * uses a cursor when the URL has {@code useCursorFetch=true}; otherwise
+     * {@code Integer.MIN_VALUE} makes it stream row by row instead of buffering the whole result.
+     */
+    private int fetchSizeFor(Connection conn) throws Exception {
+        if (dbProduct.contains("oracle") || dbProduct.contains("postgresql")) return fetchSize;
+        String url = conn.getMetaData().getURL();
+        if (url != null && url.toLowerCase().contains("usecursorfetch=true")) return fetchSize;
+        return Integer.MIN_VALUE;
+    }
+
+    private Writer openWriter(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        OutputStream out = Channels.newOutputStream(channel);
+        if (gzip) out = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+    }
+
+    String fileName(int slice, int slices) {
+        String name = slices == 1 ? tableName : tableName + "_part" + (slice + 1);
+        return name + (gzip ? ".csv.gz" : ".csv");
+    }
+
+    static void writeField(Writer out, String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"') out.write('"');
+            out.write(ch);
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,80 @@
+package com.student.springbatchproject;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-column validation rules read from a JSON file. Each rule set applies to CSVs whose header
+ * matches its {@code headers} list; {@code columns} maps a header name to its rule.
+ */
+public class ValidationRules {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationRules.class);
+
+    public static class RuleSet {
+        public List<String> headers = new ArrayList<>();
+        public Map<String, ColumnRule> columns = Map.of();
+    }
+
+    /**
+     * {@code type} is one of {@code email}, {@code regex} ({@code pattern}), {@code number}
+     * ({@code min}, {@code max}, {@code integer}), {@code date} ({@code format}, optional
+     * {@code outputFormat}) or {@code enum} ({@code values}, {@code ignoreCase}).
+     */
+    public static class ColumnRule {
+        public String type;
+        public boolean required;
+        public String pattern;
+        public Double min;
+        public Double max;
+        public boolean integer;
+        public String format;
+        public String outputFormat;
+        public List<String> values = new ArrayList<>();
+        public boolean ignoreCase = true;
+    }
+
+    private final List<RuleSet> ruleSets;
+
+    public ValidationRules(List<RuleSet> ruleSets) {
+        this.ruleSets = ruleSets;
+    }
+
+    public static ValidationRules load(String path) {
+        if (path == null || path.isBlank()) return new ValidationRules(List.of());
+        File file = new File(path);
+        if (!file.exists()) {
+            logger.warn("Validation rules file not found: {}, rows will not be validated", path);
+            return new ValidationRules(List.of());
+        }
+        try {
+            List<RuleSet> sets = new ObjectMapper().readValue(file, new TypeReference<List<RuleSet>>() {});
+            logger.info("Loaded {} validation rule set(s) from {}", sets.size(), path);
+            return new ValidationRules(sets);
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid validation rules file " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the rule set whose header signature matches the CSV header (case-insensitive), or null.
+     */
+    public RuleSet findFor(String[] headers) {
+        for (RuleSet set : ruleSets) {
+            if (set.headers.size() != headers.length) continue;
+            boolean match = true;
+            for (int i = 0; i < headers.length && match; i++) {
+                match = set.headers.get(i).trim().equalsIgnoreCase(headers[i]);
+            }
+            if (match) return set;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,488 @@
+package com.student.springbatchproject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DynamicItemWriterTest {
+
+    private static final int FAILED = Statement.EXECUTE_FAILED;
+
+    @Test
+    void shortArrayMarksRowAfterLastCount() {
+        // Oracle 12c+ / MySQL stopping at the first error: two rows ran, the third failed
+        assertEquals(Set.of(2), DynamicItemWriter.findFailedRows(new int[]{1, 1}, 5));
+    }
+
+    @Test
+    void emptyArrayMarksFirstRow() {
+        assertEquals(Set.of(0), DynamicItemWriter.findFailedRows(new int[0], 5));
+    }
+
+    @Test
+    void failuresFollowedBySuccessesAreAllBad() {
+        // MySQL with continueBatchOnError keeps going after a failure
+        int[] counts = {1, FAILED, 1, FAILED, 1};
+        assertEquals(Set.of(1, 3), DynamicItemWriter.findFailedRows(counts, 5));
+    }
+
+    @Test
+    void trailingFailuresMarkOnlyTheFirst() {
+        // PostgreSQL marks the failed row and everything after it
+        int[] counts = {1, 1, FAILED, FAILED, FAILED};
+        assertEquals(Set.of(2), DynamicItemWriter.findFailedRows(counts, 5));
+    }
+
+    @Test
+    void allFailedIsUnknown() {
+        // Oracle prepared-statement batches, MySQL rewriteBatchedStatements
+        int[] counts = {FAILED, FAILED, FAILED};
+        assertNull(DynamicItemWriter.findFailedRows(counts, 3));
+    }
+
+    @Test
+    void singleFailedRowIsKnown() {
+        assertEquals(Set.of(0), DynamicItemWriter.findFailedRows(new int[]{FAILED}, 1));
+    }
+
+    @Test
+    void noFailureInCountsIsEmpty() {
+        assertEquals(Set.of(), DynamicItemWriter.findFailedRows(new int[]{1, 1, Statement.SUCCESS_NO_INFO}, 3));
+    }
+
+    @Test
+    void missingCountsAreUnknown() {
+        assertNull(DynamicItemWriter.findFailedRows(null, 3));
+    }
+
+    @Test
+    void deadlocksAreTransientExceptOnMysql() {
+        SQLException pgDeadlock = new SQLException("deadlock detected", "40P01");
+        assertTrue(DynamicItemWriter.isTransient(pgDeadlock, "postgresql"));
+
+        SQLException oracleDeadlock = new SQLException("ORA-00060", "61000", 60);
+        assertTrue(DynamicItemWriter.isTransient(oracleDeadlock, "oracle"));
+
+        // MySQL rolls back the whole transaction, so the savepoint is gone
+        assertFalse(DynamicItemWriter.isTransient(new SQLTransactionRollbackException("Deadlock", "40001", 1213), "mysql"));
+        // a lock wait timeout only rolls back the statement, even though it reports 40001 too
+        assertTrue(DynamicItemWriter.isTransient(new SQLTransactionRollbackException("Lock wait timeout", "40001", 1205), "mysql"));
+    }
+
+    @Test
+    void transientCauseIsFoundInNextException() {
+        BatchUpdateException batch = new BatchUpdateException("batch failed", new int[0]);
+        batch.setNextException(new SQLException("could not serialize access", "40001"));
+        assertTrue(DynamicItemWriter.isTransient(batch, "postgresql"));
+    }
+
+    @Test
+    void dataErrorsAreNotTransient() {
+        SQLException tooLong = new SQLException("ORA-12899: value too large", "72000", 12899);
+        assertFalse(DynamicItemWriter.isTransient(tooLong, "oracle"));
+    }
+
+    @Test
+    void dataAndConstraintErrorsAreRowErrors() {
+        assertTrue(DynamicItemWriter.isRowDataError(new SQLException("value too long", "22001"), "postgresql"));
+        assertTrue(DynamicItemWriter.isRowDataError(new SQLException("duplicate key", "23505"), "postgresql"));
+        assertTrue(DynamicItemWriter.isRowDataError(new SQLException("ORA-12899", "72000", 12899), "oracle"));
+        assertTrue(DynamicItemWriter.isRowDataError(new SQLException("ORA-01400", "23000", 1400), "oracle"));
+        assertTrue(DynamicItemWriter.isRowDataError(new SQLException("ORA-01722", "42000", 1722), "oracle"));
+
+        BatchUpdateException batch = new BatchUpdateException("batch failed", new int[0]);
+        batch.setNextException(new SQLException("invalid input syntax", "22P02"));
+        assertTrue(DynamicItemWriter.isRowDataError(batch, "postgresql"));
+    }
+
+    @Test
+    void systemicErrorsAreNotRowErrors() {
+        assertFalse(DynamicItemWriter.isRowDataError(new SQLException("permission denied", "42501"), "postgresql"));
+        assertFalse(DynamicItemWriter.isRowDataError(new SQLException("disk full", "53100"), "postgresql"));
+        assertFalse(DynamicItemWriter.isRowDataError(new SQLException("relation does not exist", "42P01"), "postgresql"));
+        assertFalse(DynamicItemWriter.isRowDataError(new SQLException("canceling statement", "57014"), "postgresql"));
+        assertFalse(DynamicItemWriter.isRowDataError(new SQLException("ORA-00942", "42000", 942), "oracle"));
+        assertFalse(DynamicItemWriter.isRowDataError(new SQLException("ORA-01653", "72000", 1653), "oracle"));
+    }
+
+    @Test
+    void postgresTrailingFailureRejectsOnlyTheBadRow(@TempDir Path dir) throws Exception {
+        FakeBatchStatement ps = new FakeBatchStatement(batch -> {
+            int bad = firstBad(batch);
+            if (bad < 0) return null;
+            int[] counts = new int[batch.size()];
+            Arrays.fill(counts, 1);
+            Arrays.fill(counts, bad, counts.length, FAILED);
+            throw new BatchUpdateException("value too long", "22001", 0, counts);
+        });
+        RejectedRowWriter rejects = new RejectedRowWriter(dir.resolve("rejects.csv").toFile(), HEADERS, -1);
+
+        writer("PostgreSQL", ps, rejects, dir, 3).write(new Chunk<>(rows(6, 2)));
+
+        assertEquals(2, ps.executeCalls);
+        assertEquals(List.of("r0", "r1", "r3", "r4", "r5"), ps.inserted);
+        rejects.close();
+        assertEquals(List.of("BAD2"), rejectedNames(dir));
+    }
+
+    @Test
+    void shortUpdateCountArrayRejectsTheRowAfterIt(@TempDir Path dir) throws Exception {
+        FakeBatchStatement ps = new FakeBatchStatement(batch -> {
+            int bad = firstBad(batch);
+            if (bad < 0) return null;
+            int[] counts = new int[bad];
+            Arrays.fill(counts, 1);
+            throw new BatchUpdateException("ORA-12899: value too large", "72000", 12899, counts);
+        });
+        RejectedRowWriter rejects = new RejectedRowWriter(dir.resolve("rejects.csv").toFile(), HEADERS, -1);
+
+        writer("Oracle", ps, rejects, dir, 3).write(new Chunk<>(rows(6, 2)));
+
+        assertEquals(2, ps.executeCalls);
+        assertEquals(List.of("r0", "r1", "r3", "r4", "r5"), ps.inserted);
+        rejects.close();
+        assertEquals(List.of("BAD2"), rejectedNames(dir));
+    }
+
+    @Test
+    void allFailedBatchIsBisectedDownToTheBadRow(@TempDir Path dir) throws Exception {
+        FakeBatchStatement ps = new FakeBatchStatement(batch -> {
+            if (firstBad(batch) < 0) return null;
+            int[] counts = new int[batch.size()];
+            Arrays.fill(counts, FAILED);
+            throw new BatchUpdateException("ORA-12899: value too large", "72000", 12899, counts);
+        });
+        RejectedRowWriter rejects = new RejectedRowWriter(dir.resolve("rejects.csv").toFile(), HEADERS, -1);
+
+        writer("Oracle", ps, rejects, dir, 3).write(new Chunk<>(rows(6, 2)));
+
+        // [0..5] -> [0..2] -> [0], [1..2] -> [1], [2]; then [3..5]
+        assertEquals(7, ps.executeCalls);
+        assertEquals(List.of("r0", "r1", "r3", "r4", "r5"), ps.inserted);
+        rejects.close();
+        assertEquals(List.of("BAD2"), rejectedNames(dir));
+    }
+
+    @Test
+    void transientErrorIsRetried(@TempDir Path dir) throws Exception {
+        int[] failures = {1};
+        FakeBatchStatement ps = new FakeBatchStatement(batch -> {
+            if (failures[0]-- > 0) throw new SQLException("deadlock detected", "40P01");
+            return null;
+        });
+        RejectedRowWriter rejects = new RejectedRowWriter(dir.resolve("rejects.csv").toFile(), HEADERS, -1);
+
+        writer("PostgreSQL", ps, rejects, dir, 3).write(new Chunk<>(rows(3, -1)));
+
+        assertEquals(2, ps.executeCalls);
+        assertEquals(List.of("r0", "r1", "r2"), ps.inserted);
+        assertEquals(0, rejects.getRejectedCount());
+    }
+
+    @Test
+    void transientErrorIsRethrownAfterMaxRetries(@TempDir Path dir) throws Exception {
+        FakeBatchStatement ps = new FakeBatchStatement(batch -> {
+            throw new SQLException("deadlock detected", "40P01");
+        });
+        RejectedRowWriter rejects = new RejectedRowWriter(dir.resolve("rejects.csv").toFile(), HEADERS, -1);
+        DynamicItemWriter writer = writer("PostgreSQL", ps, rejects, dir, 2);
+
+        SQLException e = assertThrows(SQLException.class, () -> writer.write(new Chunk<>(rows(3, -1))));
+
+        assertEquals("40P01", e.getSQLState());
+        assertEquals(3, ps.executeCalls);
+        assertTrue(ps.inserted.isEmpty());
+    }
+
+    @Test
+    void systemicErrorFailsInsteadOfRejectingRows(@TempDir Path dir) throws Exception {
+        FakeBatchStatement ps = new FakeBatchStatement(batch -> {
+            int[] counts = new int[batch.size()];
+            Arrays.fill(counts, FAILED);
+            throw new BatchUpdateException("relation does not exist", "42P01", 0, counts);
+        });
+        RejectedRowWriter rejects = new RejectedRowWriter(dir.resolve("rejects.csv").toFile(), HEADERS, -1);
+        DynamicItemWriter writer = writer("PostgreSQL", ps, rejects, dir, 3);
+
+        assertThrows(BatchUpdateException.class, () -> writer.write(new Chunk<>(rows(4, -1))));
+
+        assertEquals(1, ps.executeCalls);
+        assertEquals(0, rejects.getRejectedCount());
+        assertFalse(dir.resolve("rejects.csv").toFile().exists());
+    }
+
+    @Test
+    void incompleteFastLoadIsRolledBackAndItsTableDropped(@TempDir Path dir) throws Exception {
+        Connection connection = mock(Connection.class);
+        JdbcTemplate jdbcTemplate = jdbcTemplate("Oracle", connection);
+        DynamicItemWriter writer = writer(jdbcTemplate, rejects(dir), dir, 3, FAST_LOAD);
+        writer.createTable("people_table", HEADERS, true);
+
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.setStatus(BatchStatus.FAILED);
+        assertNull(writer.afterStep(stepExecution));
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(jdbcTemplate).execute("DROP TABLE PEOPLE_TABLE PURGE");
+        verify(jdbcTemplate).execute("DROP SEQUENCE people_table_seq");
+        // no DDL connection was taken for an index build
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        verify(dataSource, times(2)).getConnection();
+        assertEquals(BatchStatus.FAILED, stepExecution.getStatus());
+    }
+
+    @Test
+    void failedIndexBuildFailsTheStep(@TempDir Path dir) throws Exception {
+        Connection connection = mock(Connection.class);
+        Connection ddlConnection = mock(Connection.class);
+        when(ddlConnection.createStatement()).thenThrow(new SQLException("out of memory", "53200"));
+        DynamicItemWriter writer = writer(jdbcTemplate("PostgreSQL", connection, ddlConnection),
+                rejects(dir), dir, 3, FAST_LOAD);
+        writer.createTable("people_table", HEADERS, true);
+
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+
+        assertEquals(ExitStatus.FAILED, writer.afterStep(stepExecution));
+        assertEquals(BatchStatus.FAILED, stepExecution.getStatus());
+        assertEquals(1, stepExecution.getFailureExceptions().size());
+        verify(connection).commit();
+    }
+
+    @Test
+    void mysqlIndexBuildResetsDdlThreads(@TempDir Path dir) throws Exception {
+        Statement statement = mock(Statement.class);
+        Connection ddlConnection = mock(Connection.class);
+        when(ddlConnection.createStatement()).thenReturn(statement);
+        DynamicItemWriter writer = writer(jdbcTemplate("MySQL", mock(Connection.class), ddlConnection),
+                rejects(dir), dir, 3, FAST_LOAD);
+        writer.createTable("people_table", HEADERS, true);
+
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+        assertNull(writer.afterStep(stepExecution));
+
+        verify(statement).execute("ALTER TABLE `people_table` ADD INDEX `people_table_email_idx` (`email`(191))");
+        verify(statement).execute("ANALYZE TABLE `people_table`");
+        // one session for the index, one for ANALYZE
+        verify(statement, times(2)).execute("SET SESSION innodb_ddl_threads = 4");
+        verify(statement, times(2)).execute("SET SESSION innodb_ddl_threads = DEFAULT");
+    }
+
+    @Test
+    void indexColumnsMatchRawOrSanitizedNamesOnce() {
+        FastLoadOptions fastLoad = new FastLoadOptions(true, "Order, e_mail, order_col, Missing", 1, 1, "", false);
+        DynamicItemWriter writer = new DynamicItemWriter(null, null, null, null, 0, 0, fastLoad);
+
+        assertEquals(List.of("order_col", "e_mail"), writer.resolveIndexColumns(new String[]{"Name", "E-mail", "Order"}));
+    }
+
+    @Test
+    void longIndexNamesAreShortenedForOracle() {
+        DynamicItemWriter writer = new DynamicItemWriter(null, null, null, null, 0, 0, FAST_LOAD);
+
+        assertEquals("people_table_pk", writer.indexName("people_table", "pk"));
+        assertEquals("people_table_email_idx", writer.indexName("people_table", "email"));
+
+        String name = writer.indexName("customer_transactions_table", "billing_address");
+        assertTrue(name.length() <= 30, name);
+        assertTrue(name.startsWith("customer_transactions_"), name);
+        assertNotEquals(name, writer.indexName("customer_transactions_table", "billing_city"));
+    }
+
+    @Test
+    void oracleFastLoadDdl(@TempDir Path dir) throws Exception {
+        JdbcTemplate jdbcTemplate = jdbcTemplate("Oracle", mock(Connection.class));
+        List<String> ddl = captureDdl(jdbcTemplate);
+        DynamicItemWriter writer = writer(jdbcTemplate, rejects(dir), dir, 3, FAST_LOAD);
+
+        writer.createTable("people_table", HEADERS, true);
+
+        assertEquals("CREATE TABLE PEOPLE_TABLE (ID NUMBER, NAME VARCHAR2(4000), EMAIL VARCHAR2(4000))", ddl.get(0));
+        assertEquals("CREATE SEQUENCE people_table_seq START WITH 1 INCREMENT BY 1", ddl.get(1));
+        assertEquals(List.of(
+                        "CREATE UNIQUE INDEX PEOPLE_TABLE_PK ON PEOPLE_TABLE (ID) NOLOGGING PARALLEL 4",
+                        "ALTER TABLE PEOPLE_TABLE ADD CONSTRAINT PEOPLE_TABLE_PK PRIMARY KEY (ID) USING INDEX PEOPLE_TABLE_PK",
+                        "ALTER INDEX PEOPLE_TABLE_PK NOPARALLEL LOGGING"),
+                writer.primaryKeyStatements("people_table"));
+        assertEquals("CREATE INDEX PEOPLE_TABLE_EMAIL_IDX ON PEOPLE_TABLE (EMAIL) NOLOGGING PARALLEL 4",
+                writer.buildCreateIndexSql("people_table", "email"));
+    }
+
+    @Test
+    void postgresFastLoadDdl(@TempDir Path dir) throws Exception {
+        JdbcTemplate jdbcTemplate = jdbcTemplate("PostgreSQL", mock(Connection.class));
+        List<String> ddl = captureDdl(jdbcTemplate);
+        FastLoadOptions concurrent = new FastLoadOptions(true, "Email", 4, 2, "1GB", true);
+        DynamicItemWriter writer = writer(jdbcTemplate, rejects(dir), dir, 3, concurrent);
+
+        writer.createTable("people_table", HEADERS, true);
+
+        assertEquals(List.of("CREATE TABLE people_table (id SERIAL, name TEXT, email TEXT)"), ddl);
+        assertEquals(List.of("ALTER TABLE \"people_table\" ADD PRIMARY KEY (id)"),
+                writer.primaryKeyStatements("people_table"));
+        assertEquals("CREATE INDEX CONCURRENTLY \"people_table_email_idx\" ON \"people_table\" (\"email\")",
+                writer.buildCreateIndexSql("people_table", "email"));
+    }
+
+    @Test
+    void mysqlFastLoadDdlKeepsThePrimaryKey(@TempDir Path dir) throws Exception {
+        JdbcTemplate jdbcTemplate = jdbcTemplate("MySQL", mock(Connection.class));
+        List<String> ddl = captureDdl(jdbcTemplate);
+        DynamicItemWriter writer = writer(jdbcTemplate, rejects(dir), dir, 3, FAST_LOAD);
+
+        writer.createTable("people_table", HEADERS, true);
+
+        assertEquals(List.of("CREATE TABLE `people_table` (id INT AUTO_INCREMENT PRIMARY KEY, `name` TEXT, `email` TEXT)"), ddl);
+        assertTrue(writer.primaryKeyStatements("people_table").isEmpty());
+        assertEquals("ALTER TABLE `people_table` ADD INDEX `people_table_email_idx` (`email`(191))",
+                writer.buildCreateIndexSql("people_table", "email"));
+    }
+
+    private static final String[] HEADERS = {"Name", "Email"};
+    private static final FastLoadOptions FAST_LOAD = new FastLoadOptions(true, "Email", 4, 2, "1GB", false);
+
+    /** What the driver does with a batch: return null to run it, or throw the way it would fail. */
+    interface BatchBehaviour {
+        int[] execute(List<String[]> batch) throws SQLException;
+    }
+
+    /**
+     * A prepared statement that collects the bound rows into a batch and hands it to a
+     * {@link BatchBehaviour} on {@code executeBatch}; the rows of a batch that runs count as inserted.
+     */
+    static final class FakeBatchStatement {
+        final List<String> inserted = new ArrayList<>();
+        int executeCalls;
+
+        private final BatchBehaviour onExecute;
+        private final List<String[]> batch = new ArrayList<>();
+        private final String[] current = new String[HEADERS.length];
+        private final PreparedStatement statement = mock(PreparedStatement.class);
+
+        FakeBatchStatement(BatchBehaviour onExecute) throws SQLException {
+            this.onExecute = onExecute;
+            doAnswer(inv -> {
+                current[(Integer) inv.getArgument(0) - 1] = inv.getArgument(1);
+                return null;
+            }).when(statement).setString(anyInt(), any());
+            doAnswer(inv -> batch.add(current.clone())).when(statement).addBatch();
+            doAnswer(inv -> {
+                batch.clear();
+                return null;
+            }).when(statement).clearBatch();
+            when(statement.executeBatch()).thenAnswer(inv -> execute());
+        }
+
+        private int[] execute() throws SQLException {
+            executeCalls++;
+            onExecute.execute(batch);
+            int[] result = new int[batch.size()];
+            Arrays.fill(result, 1);
+            for (String[] row : batch) inserted.add(row[0]);
+            batch.clear();
+            return result;
+        }
+    }
+
+    private static DynamicItemWriter writer(String product, FakeBatchStatement ps, RejectedRowWriter rejects,
+                                            Path dir, int maxRetries) throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.setSavepoint()).thenReturn(mock(Savepoint.class));
+        when(connection.prepareStatement(anyString())).thenReturn(ps.statement);
+
+        return writer(jdbcTemplate(product, connection), rejects, dir, maxRetries,
+                new FastLoadOptions(false, "", 1, 1, "", false));
+    }
+
+    private static DynamicItemWriter writer(JdbcTemplate jdbcTemplate, RejectedRowWriter rejects, Path dir,
+                                            int maxRetries, FastLoadOptions fastLoad) {
+        DynamicItemWriter writer = new DynamicItemWriter(jdbcTemplate, new HeaderHolder(HEADERS),
+                dir.resolve("people.csv").toString(), rejects, maxRetries, 0, fastLoad);
+        writer.initializeWriter();
+        return writer;
+    }
+
+    /**
+     * A JdbcTemplate whose data source reports {@code product} and then hands out
+     * {@code connections} in turn, the last one repeatedly.
+     */
+    private static JdbcTemplate jdbcTemplate(String product, Connection... connections) throws SQLException {
+        DatabaseMetaData meta = mock(DatabaseMetaData.class);
+        when(meta.getDatabaseProductName()).thenReturn(product);
+        Connection metaConnection = mock(Connection.class);
+        when(metaConnection.getMetaData()).thenReturn(meta);
+
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(metaConnection, connections);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        return jdbcTemplate;
+    }
+
+    private static List<String> captureDdl(JdbcTemplate jdbcTemplate) {
+        List<String> ddl = new ArrayList<>();
+        doAnswer(inv -> ddl.add(inv.getArgument(0))).when(jdbcTemplate).execute(anyString());
+        return ddl;
+    }
+
+    private static RejectedRowWriter rejects(Path dir) {
+        return new RejectedRowWriter(dir.resolve("rejects.csv").toFile(), HEADERS, -1);
+    }
+
+    /** {@code count} rows named r0, r1, ... with the one at {@code badIndex} named BAD&lt;index&gt;. */
+    private static List<String[]> rows(int count, int badIndex) {
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new String[]{i == badIndex ? "BAD" + i : "r" + i, "r" + i + "@example.com"});
+        }
+        return rows;
+    }
+
+    private static int firstBad(List<String[]> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i)[0].startsWith("BAD")) return i;
+        }
+        return -1;
+    }
+
+    private static List<String> rejectedNames(Path dir) throws Exception {
+        List<String> names = new ArrayList<>();
+        List<String> lines = Files.readAllLines(dir.resolve("rejects.csv"));
+        for (String line : lines.subList(1, lines.size())) names.add(line.split(",")[1]);
+        return names;
+    }
+}
@@ -0,0 +1,62 @@
+package com.student.springbatchproject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RejectedRowWriterTest {
+
+    @Test
+    void escapeLeavesPlainValuesAlone() {
+        assertEquals("plain", RejectedRowWriter.escape("plain"));
+        assertEquals("", RejectedRowWriter.escape(""));
+        assertEquals("", RejectedRowWriter.escape(null));
+    }
+
+    @Test
+    void escapeQuotesDelimitersAndDoublesQuotes() {
+        assertEquals("\"a,b\"", RejectedRowWriter.escape("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", RejectedRowWriter.escape("say \"hi\""));
+        assertEquals("\"line\nbreak\"", RejectedRowWriter.escape("line\nbreak"));
+        assertEquals("\"cr\rhere\"", RejectedRowWriter.escape("cr\rhere"));
+    }
+
+    @Test
+    void writesHeaderAndReasonOnFirstReject(@TempDir Path dir) throws Exception {
+        File file = dir.resolve("rejects.csv").toFile();
+        RejectedRowWriter writer = new RejectedRowWriter(file, new String[]{"Name", "Email"}, -1);
+        assertFalse(file.exists());
+
+        writer.reject(new String[]{"Doe, John", "bad"}, "Email: invalid email");
+        writer.close();
+
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(List.of("reject_reason,Name,Email", "Email: invalid email,\"Doe, John\",bad"), lines);
+        assertEquals(1, writer.getRejectedCount());
+    }
+
+    @Test
+    void failsOnceMoreRowsThanAllowedAreRejected(@TempDir Path dir) {
+        RejectedRowWriter writer = new RejectedRowWriter(dir.resolve("rejects.csv").toFile(), new String[]{"Name"}, 2);
+        writer.reject(new String[]{"a"}, "bad");
+        writer.reject(new String[]{"b"}, "bad");
+
+        assertThrows(IllegalStateException.class, () -> writer.reject(new String[]{"c"}, "bad"));
+        writer.close();
+        assertEquals(3, writer.getRejectedCount());
+    }
+
+    @Test
+    void defaultRejectFileSitsNextToInput(@TempDir Path dir) {
+        File input = dir.resolve("Employee.csv").toFile();
+        assertEquals(dir.resolve("Employee_rejects.csv").toFile().getAbsoluteFile(),
+                RejectedRowWriter.defaultRejectFile(input.getPath()));
+    }
+}
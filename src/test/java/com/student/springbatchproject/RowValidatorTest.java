@@ -0,0 +1,185 @@
+package com.student.springbatchproject;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowValidatorTest {
+
+    private static final String[] HEADERS = {"EmpID", "Email", "Department", "Salary", "JoinDate", "Age"};
+
+    private static ValidationRules.ColumnRule rule(String type) {
+        ValidationRules.ColumnRule rule = new ValidationRules.ColumnRule();
+        rule.type = type;
+        return rule;
+    }
+
+    private static RowValidator employeeValidator() {
+        Map<String, ValidationRules.ColumnRule> columns = new LinkedHashMap<>();
+
+        ValidationRules.ColumnRule empId = rule("regex");
+        empId.pattern = "E\\d+";
+        empId.required = true;
+        columns.put("EmpID", empId);
+
+        columns.put("Email", rule("email"));
+
+        ValidationRules.ColumnRule department = rule("enum");
+        department.values = List.of("IT", "HR", "Finance");
+        columns.put("Department", department);
+
+        ValidationRules.ColumnRule salary = rule("number");
+        salary.min = 0.0;
+        columns.put("Salary", salary);
+
+        ValidationRules.ColumnRule joinDate = rule("date");
+        joinDate.format = "yyyy-MM-dd";
+        columns.put("JoinDate", joinDate);
+
+        ValidationRules.ColumnRule age = rule("number");
+        age.integer = true;
+        age.min = 16.0;
+        age.max = 100.0;
+        age.required = true;
+        columns.put("Age", age);
+
+        ValidationRules.RuleSet set = new ValidationRules.RuleSet();
+        set.headers = List.of(HEADERS);
+        set.columns = columns;
+        return RowValidator.compile(HEADERS, new ValidationRules(List.of(set)));
+    }
+
+    @Test
+    void validRowIsTrimmedAndKept() {
+        RowValidator validator = employeeValidator();
+        String salary = "60000";
+        String[] row = {" E001 ", "john.doe@example.com", "IT", salary, "2018-05-20", "30"};
+
+        assertNull(validator.apply(row));
+        assertEquals("E001", row[0]);
+        assertSame(salary, row[3]);
+        assertTrue(validator.getViolations().isEmpty());
+    }
+
+    @Test
+    void enumIsCanonicalised() {
+        RowValidator validator = employeeValidator();
+        String[] row = {"E001", "a@b.co", "finance", "1", "2018-05-20", "30"};
+
+        assertNull(validator.apply(row));
+        assertEquals("Finance", row[2]);
+    }
+
+    @Test
+    void unknownEnumValueFails() {
+        RowValidator validator = employeeValidator();
+        String[] row = {"E001", "a@b.co", "Legal", "1", "2018-05-20", "30"};
+
+        assertEquals("Department: invalid enum", validator.apply(row));
+    }
+
+    @Test
+    void strictDateRejectsImpossibleDays() {
+        RowValidator validator = employeeValidator();
+
+        assertNull(validator.apply(new String[]{"E001", "a@b.co", "IT", "1", "2020-02-29", "30"}));
+        assertEquals("JoinDate: invalid date",
+                validator.apply(new String[]{"E001", "a@b.co", "IT", "1", "2021-02-29", "30"}));
+        assertEquals("JoinDate: invalid date",
+                validator.apply(new String[]{"E001", "a@b.co", "IT", "1", "20/05/2018", "30"}));
+    }
+
+    @Test
+    void integerFastPathAndRanges() {
+        RowValidator validator = employeeValidator();
+
+        assertNull(validator.apply(new String[]{"E001", "a@b.co", "IT", "+1", "2018-05-20", "100"}));
+        assertEquals("Age: invalid number",
+                validator.apply(new String[]{"E001", "a@b.co", "IT", "1", "2018-05-20", "30.5"}));
+        assertEquals("Age: invalid number",
+                validator.apply(new String[]{"E001", "a@b.co", "IT", "1", "2018-05-20", "-5"}));
+        assertEquals("Salary: invalid number",
+                validator.apply(new String[]{"E001", "a@b.co", "IT", "-", "2018-05-20", "30"}));
+    }
+
+    @Test
+    void decimalsPassButNonFiniteValuesFail() {
+        RowValidator validator = employeeValidator();
+
+        assertNull(validator.apply(new String[]{"E001", "a@b.co", "IT", "1234.50", "2018-05-20", "30"}));
+        assertEquals("Salary: invalid number",
+                validator.apply(new String[]{"E001", "a@b.co", "IT", "Infinity", "2018-05-20", "30"}));
+        assertEquals("Salary: invalid number",
+                validator.apply(new String[]{"E001", "a@b.co", "IT", "NaN", "2018-05-20", "30"}));
+        // Java literal syntax that Double.parseDouble would accept
+        for (String literal : List.of("60000d", "100f", "1e5", "0x1p4", "1.", ".5")) {
+            assertEquals("Salary: invalid number",
+                    validator.apply(new String[]{"E001", "a@b.co", "IT", literal, "2018-05-20", "30"}), literal);
+        }
+    }
+
+    @Test
+    void quotedLiteralsInDateFormatAreKept() {
+        assertEquals("'day' dd-MM-uuuu", RowValidator.toStrictPattern("'day' dd-MM-yyyy"));
+
+        ValidationRules.ColumnRule date = rule("date");
+        date.format = "'day' dd-MM-yyyy";
+        ValidationRules.RuleSet set = new ValidationRules.RuleSet();
+        set.headers = List.of("Joined");
+        set.columns = Map.of("Joined", date);
+        RowValidator validator = RowValidator.compile(new String[]{"Joined"}, new ValidationRules(List.of(set)));
+
+        assertNull(validator.apply(new String[]{"day 20-05-2018"}));
+        assertEquals("Joined: invalid date", validator.apply(new String[]{"day 29-02-2021"}));
+    }
+
+    @Test
+    void requiredAndMissingTrailingColumns() {
+        RowValidator validator = employeeValidator();
+
+        assertEquals("EmpID: required",
+                validator.apply(new String[]{"  ", "a@b.co", "IT", "1", "2018-05-20", "30"}));
+        // optional empty values pass
+        assertNull(validator.apply(new String[]{"E001", "", "", "", "", "30"}));
+        // row cut short before the required Age column
+        assertEquals("Age: required", validator.apply(new String[]{"E001", "a@b.co", "IT"}));
+    }
+
+    @Test
+    void violationsAreCountedPerColumn() {
+        RowValidator validator = employeeValidator();
+
+        String reason = validator.apply(new String[]{"X1", "not-an-email", "IT", "1", "2018-05-20", "30"});
+        validator.apply(new String[]{"E002", "also bad", "IT", "1", "2018-05-20", "30"});
+
+        assertEquals("EmpID: invalid regex", reason);
+        assertEquals(Map.of("EmpID", 1L, "Email", 2L), validator.getViolations());
+    }
+
+    @Test
+    void findForMatchesHeaderSignatureIgnoringCase() {
+        ValidationRules.RuleSet set = new ValidationRules.RuleSet();
+        set.headers = List.of("EmpID", "Email");
+        ValidationRules rules = new ValidationRules(List.of(set));
+
+        assertSame(set, rules.findFor(new String[]{"empid", "EMAIL"}));
+        assertNull(rules.findFor(new String[]{"EmpID"}));
+        assertNull(rules.findFor(new String[]{"EmpID", "Phone"}));
+        assertNull(RowValidator.compile(new String[]{"Other"}, rules));
+    }
+
+    @Test
+    void rulesForUnknownColumnsAreIgnored() {
+        ValidationRules.RuleSet set = new ValidationRules.RuleSet();
+        set.headers = List.of("EmpID");
+        set.columns = Map.of("Missing", rule("email"));
+
+        RowValidator validator = RowValidator.compile(new String[]{"EmpID"}, new ValidationRules(List.of(set)));
+        assertNotNull(validator);
+        assertNull(validator.apply(new String[]{"anything"}));
+    }
+}
@@ -0,0 +1,74 @@
+package com.student.springbatchproject;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableExportTaskletTest {
+
+    @Test
+    void rangesCoverEveryIdOnce() {
+        long[][] ranges = TableExportTasklet.sliceRanges(1, 10, 4);
+
+        assertArrayEquals(new long[][]{{1, 4}, {4, 7}, {7, 9}, {9, 11}}, ranges);
+    }
+
+    @Test
+    void fewerIdsThanPartitionsGiveOneRangePerId() {
+        long[][] ranges = TableExportTasklet.sliceRanges(5, 7, 8);
+
+        assertArrayEquals(new long[][]{{5, 6}, {6, 7}, {7, 8}}, ranges);
+    }
+
+    @Test
+    void rangesAreContiguousWithoutEmptySlices() {
+        for (int partitions = 1; partitions <= 9; partitions++) {
+            for (long hi = 100; hi <= 108; hi++) {
+                long[][] ranges = TableExportTasklet.sliceRanges(100, hi, partitions);
+                assertEquals(100, ranges[0][0]);
+                assertEquals(hi + 1, ranges[ranges.length - 1][1]);
+                for (int i = 0; i < ranges.length; i++) {
+                    assertTrue(ranges[i][1] > ranges[i][0], "empty slice " + i);
+                    if (i > 0) assertEquals(ranges[i - 1][1], ranges[i][0]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void emptyTableIsOneEmptySlice() {
+        // MIN/MAX of an empty table come back as lo = 0, hi = -1
+        assertArrayEquals(new long[][]{{0, 0}}, TableExportTasklet.sliceRanges(0, -1, 4));
+    }
+
+    @Test
+    void writeFieldQuotesOnlyWhenNeeded() throws Exception {
+        assertEquals("plain", field("plain"));
+        assertEquals("", field(null));
+        assertEquals("\"a,b\"", field("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", field("say \"hi\""));
+        assertEquals("\"two\nlines\"", field("two\nlines"));
+        assertEquals("\"cr\rhere\"", field("cr\rhere"));
+    }
+
+    @Test
+    void fileNamePerSlice() {
+        TableExportTasklet plain = new TableExportTasklet(null, "Employee_table", new File("export"), 4, 100, false);
+        assertEquals("employee_table.csv", plain.fileName(0, 1));
+        assertEquals("employee_table_part1.csv", plain.fileName(0, 3));
+        assertEquals("employee_table_part3.csv", plain.fileName(2, 3));
+
+        TableExportTasklet gzip = new TableExportTasklet(null, "employee_table", new File("export"), 4, 100, true);
+        assertEquals("employee_table.csv.gz", gzip.fileName(0, 1));
+        assertEquals("employee_table_part2.csv.gz", gzip.fileName(1, 2));
+    }
+
+    private static String field(String value) throws Exception {
+        StringWriter out = new StringWriter();
+        TableExportTasklet.writeField(out, value);
+        return out.toString();
+    }
+}